@@ -0,0 +1,37 @@
+package com.rodgers.fines.data;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    @Value("${fines.mongo.timeout.connect-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${fines.mongo.timeout.operation-ms:3000}")
+    private long operationTimeoutMs;
+
+    @Value("${fines.mongo.timeout.server-selection-ms:2000}")
+    private long serverSelectionTimeoutMs;
+
+    /**
+     * Deadlines so a call fails well before the driver defaults (30s server selection, no operation limit).
+     * The operation timeout covers every command including pool checkout and socket reads, and the driver
+     * sends what is left of it to the server as maxTimeMS so an abandoned query does not keep running there.
+     * MongoClientSettings.Builder.timeout is marked @Alpha(Reason.CLIENT) in the 5.x driver and may change
+     * without notice, which is why the driver version is pinned in dependencies.gradle; re-check this
+     * method when moving that pin.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeoutCustomizer() {
+        return builder -> builder
+                .timeout(operationTimeoutMs, TimeUnit.MILLISECONDS)
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+}
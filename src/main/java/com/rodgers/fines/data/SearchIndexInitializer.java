@@ -0,0 +1,39 @@
+package com.rodgers.fines.data;
+
+import com.rodgers.fines.data.vo.Club;
+import com.rodgers.fines.data.vo.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the collated name indexes declared with @Indexed on the entities, which Spring Data
+ * does not do by default. Failures are only logged so an unreachable cluster does not stop the app starting.
+ */
+@Component
+@Slf4j
+public class SearchIndexInitializer {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : new Class<?>[]{Club.class, User.class}) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entity);
+                resolver.resolveIndexFor(entity).forEach(indexOps::createIndex);
+                log.info("Indexes ensured for {}", entity.getSimpleName());
+            } catch (Exception e) {
+                log.error("Could not ensure indexes for {} | {}", entity.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.rodgers.fines.data.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts {@link EntityCache} entries when a document is changed by any node. The last resume token
+ * is kept so a dropped connection carries on where it left off; if the token has aged out of the
+ * oplog the changes in between are unknown, so the stream restarts from now and every cache is flushed
+ * once it is open. Flushing only after opening leaves no window where a change is neither delivered
+ * nor flushed. The caches are only enabled once the first stream has opened, so a server without
+ * change streams (a standalone, or a user lacking the changeStream privilege) never serves cached entities.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private final ChangeEventSource source;
+    private final Map<String, EntityCache<?>> caches;
+    private final long retryDelayMs;
+
+    private volatile boolean running;
+    private volatile BsonDocument resumeToken;
+    private Thread worker;
+
+    @Autowired
+    public CacheInvalidationListener(ChangeEventSource source, List<EntityCache<?>> caches,
+                                     @Value("${fines.cache.invalidation.retry-ms:1000}") long retryDelayMs) {
+        this.source = source;
+        this.caches = caches.stream().collect(Collectors.toMap(EntityCache::getCollection, Function.identity()));
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::listen, "cache-invalidation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        source.close();
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    private void listen() {
+        while (running) {
+            try {
+                source.watch(caches.keySet(), resumeToken, new StreamHandler(resumeToken == null));
+            } catch (ResumeTokenExpiredException e) {
+                log.warn("Change stream resume token expired, restarting from now and flushing caches | {}", e.getMessage());
+                resumeToken = null;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change stream disconnected, resuming in {}ms | {}", retryDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(ChangeEvent event) {
+        if (event.getType() == ChangeEvent.Type.INVALIDATED) {
+            log.info("Change stream invalidated for {}, flushing caches", event.getCollection());
+            flushAll();
+        } else {
+            EntityCache<?> cache = caches.get(event.getCollection());
+            if (cache != null) {
+                cache.evict(event.getId());
+            }
+        }
+        resumeToken = event.getResumeToken();
+    }
+
+    private void flushAll() {
+        caches.values().forEach(EntityCache::clear);
+    }
+
+    private final class StreamHandler implements ChangeEventSource.ChangeListener {
+
+        private final boolean fromNow;
+
+        private StreamHandler(boolean fromNow) {
+            this.fromNow = fromNow;
+        }
+
+        @Override
+        public void opened() {
+            if (fromNow) {
+                // nothing to catch up from, anything cached may have missed an update
+                flushAll();
+            }
+            caches.values().forEach(EntityCache::enable);
+        }
+
+        @Override
+        public void changed(ChangeEvent event) {
+            apply(event);
+        }
+
+        @Override
+        public void resumeTokenAdvanced(BsonDocument token) {
+            if (token != null) {
+                resumeToken = token;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.rodgers.fines.data.cache;
+
+import lombok.Value;
+import org.bson.BsonDocument;
+
+@Value
+public class ChangeEvent {
+
+    public enum Type {
+        /** Document inserted, updated or replaced. */
+        CHANGED,
+        DELETED,
+        /** Collection dropped or renamed, or the stream was invalidated - every entry is suspect. */
+        INVALIDATED
+    }
+
+    String collection;
+    String id;
+    Type type;
+    BsonDocument resumeToken;
+}
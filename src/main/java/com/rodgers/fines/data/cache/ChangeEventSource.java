@@ -0,0 +1,41 @@
+package com.rodgers.fines.data.cache;
+
+import org.bson.BsonDocument;
+
+import java.util.Collection;
+
+/**
+ * Stream of document changes used to keep {@link EntityCache}s consistent across nodes.
+ * Backed by a Mongo change stream in production and by an in-memory queue in tests.
+ */
+public interface ChangeEventSource {
+
+    /**
+     * Blocks delivering changes for the given collections until the stream ends or {@link #close()} is called.
+     *
+     * @param resumeToken token of the last event handled, or null to start from now
+     * @throws ResumeTokenExpiredException if the token is no longer in the oplog
+     */
+    void watch(Collection<String> collections, BsonDocument resumeToken, ChangeListener listener);
+
+    /**
+     * Stops a running {@link #watch}, which then returns or throws.
+     */
+    void close();
+
+    interface ChangeListener {
+
+        /**
+         * The stream is open, every change made from here on will be delivered.
+         */
+        void opened();
+
+        void changed(ChangeEvent event);
+
+        /**
+         * The stream has moved past changes that did not match, such as writes to other collections.
+         * Keeping the token in step means a reconnect can resume even when the watched collections are quiet.
+         */
+        void resumeTokenAdvanced(BsonDocument resumeToken);
+    }
+}
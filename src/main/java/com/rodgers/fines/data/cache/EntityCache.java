@@ -0,0 +1,94 @@
+package com.rodgers.fines.data.cache;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Local id to entity cache for a single Mongo collection. Entries are only safe to serve
+ * because {@link CacheInvalidationListener} evicts them when another node changes the document.
+ * Holds at most maxEntries documents; when full an arbitrary entry makes room for the new one.
+ * Until {@link #enable()} is called, which the listener does once its stream is open, every get
+ * loads straight through, so nothing is cached on a deployment where change streams are unavailable.
+ */
+public class EntityCache<T> {
+
+    @Getter
+    private final String collection;
+    private final int maxEntries;
+    private final Map<String, T> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile boolean enabled;
+
+    public EntityCache(String collection, int maxEntries) {
+        this(collection, maxEntries, new ConcurrentHashMap<>());
+    }
+
+    EntityCache(String collection, int maxEntries, Map<String, T> entries) {
+        this.collection = collection;
+        this.maxEntries = maxEntries;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the cached entity or loads it. Misses are not cached, and a loaded value is
+     * dropped if an eviction happened while it was being read, so a stale read cannot
+     * overwrite a newer invalidation.
+     */
+    public T get(String id, Supplier<T> loader) {
+        if (id == null || !enabled) {
+            return loader.get();
+        }
+        T cached = entries.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = invalidations.get();
+        T loaded = loader.get();
+        if (loaded != null && invalidations.get() == stamp) {
+            makeRoom();
+            entries.putIfAbsent(id, loaded);
+            // an eviction between the check and the put found nothing to remove, undo it here
+            if (invalidations.get() != stamp) {
+                entries.remove(id, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Starts caching loaded entities. Loads already in flight were started without the stream's
+     * protection and are still not cached.
+     */
+    public void enable() {
+        enabled = true;
+    }
+
+    public void evict(String id) {
+        invalidations.incrementAndGet();
+        if (id != null) {
+            entries.remove(id);
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        Iterator<String> ids = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.rodgers.fines.data.cache;
+
+import com.rodgers.fines.data.vo.Club;
+import com.rodgers.fines.data.vo.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+public class EntityCacheConfig {
+
+    @Value("${fines.cache.entity.max-entries:10000}")
+    private int maxEntries;
+
+    @Bean
+    public EntityCache<Club> clubCache(MongoTemplate mongoTemplate) {
+        return new EntityCache<>(mongoTemplate.getCollectionName(Club.class), maxEntries);
+    }
+
+    @Bean
+    public EntityCache<User> userCache(MongoTemplate mongoTemplate) {
+        return new EntityCache<>(mongoTemplate.getCollectionName(User.class), maxEntries);
+    }
+}
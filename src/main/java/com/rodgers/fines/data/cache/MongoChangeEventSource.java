@@ -0,0 +1,107 @@
+package com.rodgers.fines.data.cache;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database level change stream filtered to the cached collections. Needs a replica set,
+ * which Atlas always is; locally run mongod with --replSet.
+ */
+@Component
+@Slf4j
+public class MongoChangeEventSource implements ChangeEventSource {
+
+    // CappedPositionLost, ChangeStreamFatalError, ChangeStreamHistoryLost
+    private static final Set<Integer> HISTORY_LOST_CODES = Set.of(136, 280, 286);
+
+    // how long the server holds each empty getMore open, kept below the client operation timeout
+    private static final long MAX_AWAIT_MS = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Override
+    public void watch(Collection<String> collections, BsonDocument resumeToken, ChangeListener listener) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", collections))))
+                .maxAwaitTime(MAX_AWAIT_MS, TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor()) {
+            cursor = opened;
+            listener.opened();
+            listener.resumeTokenAdvanced(opened.getResumeToken());
+            while (true) {
+                ChangeStreamDocument<Document> change = opened.tryNext();
+                if (change == null) {
+                    // empty batch, the post batch token still moves past whatever was filtered out
+                    listener.resumeTokenAdvanced(opened.getResumeToken());
+                    continue;
+                }
+                listener.changed(toEvent(change));
+                if (change.getOperationType() == OperationType.INVALIDATE) {
+                    // invalidate closes the stream and its token cannot be resumed after
+                    return;
+                }
+            }
+        } catch (MongoException e) {
+            if (HISTORY_LOST_CODES.contains(e.getCode())) {
+                throw new ResumeTokenExpiredException("Change stream resume token is no longer available", e);
+            }
+            throw e;
+        } finally {
+            cursor = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private ChangeEvent toEvent(ChangeStreamDocument<Document> change) {
+        String collection = change.getNamespace() == null ? null : change.getNamespace().getCollectionName();
+        OperationType operation = change.getOperationType();
+        ChangeEvent.Type type = switch (operation) {
+            case INSERT, UPDATE, REPLACE -> ChangeEvent.Type.CHANGED;
+            case DELETE -> ChangeEvent.Type.DELETED;
+            default -> ChangeEvent.Type.INVALIDATED;
+        };
+        BsonDocument resumeToken = operation == OperationType.INVALIDATE ? null : change.getResumeToken();
+        return new ChangeEvent(collection, documentId(change.getDocumentKey()), type, resumeToken);
+    }
+
+    private String documentId(BsonDocument documentKey) {
+        if (documentKey == null || !documentKey.containsKey("_id")) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
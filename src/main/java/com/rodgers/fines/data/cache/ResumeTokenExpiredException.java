@@ -0,0 +1,8 @@
+package com.rodgers.fines.data.cache;
+
+public class ResumeTokenExpiredException extends RuntimeException {
+
+    public ResumeTokenExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package com.rodgers.fines.data.cache;
+
+import com.rodgers.fines.data.vo.SearchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class SearchCacheConfig {
+
+    @Value("${fines.search.cache.ttl-ms:30000}")
+    private long searchCacheTtlMs;
+
+    @Value("${fines.search.cache.max-entries:1000}")
+    private int searchCacheMaxEntries;
+
+    @Bean
+    public TtlCache<String, List<SearchResult>> clubSearchCache() {
+        return new TtlCache<>(searchCacheTtlMs, searchCacheMaxEntries);
+    }
+
+    @Bean
+    public TtlCache<String, List<SearchResult>> userSearchCache() {
+        return new TtlCache<>(searchCacheTtlMs, searchCacheMaxEntries);
+    }
+}
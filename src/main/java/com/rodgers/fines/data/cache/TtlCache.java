@@ -0,0 +1,93 @@
+package com.rodgers.fines.data.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Small time bounded cache for results that may be briefly stale, such as type-ahead searches.
+ * Concurrent misses on one key share a single load. When full, expired entries are purged and
+ * otherwise the entry closest to expiry, the oldest since the ttl is fixed, makes room.
+ */
+public class TtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    public TtlCache(long ttlMs, int maxEntries) {
+        this(ttlMs, maxEntries, System::currentTimeMillis);
+    }
+
+    TtlCache(long ttlMs, int maxEntries, LongSupplier clock) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > clock.getAsLong()) {
+            return entry.value();
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            V value = loader.get();
+            long now = clock.getAsLong();
+            makeRoom(now);
+            entries.put(key, new Entry<>(value, now + ttlMs));
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+        while (entries.size() >= maxEntries && !entries.isEmpty()) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // surface the loader's own exception, e.g. a rejection MongoUnavailableHandler maps to a 503
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.rodgers.fines.data.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed status messages returned by the controllers. Each response, body encoded to UTF-8 JSON,
+ * is built once when the enum loads and the same instance is returned for every request.
+ */
+public enum ApiMessage {
+
+    CLUB_ID_EXISTS(HttpStatus.BAD_REQUEST, "Club id Already exists"),
+    CLUB_NOT_FOUND(HttpStatus.BAD_REQUEST, "Club Id does not exist"),
+    CLUB_ADDITION_SUCCESS(HttpStatus.OK, "Club addition was a success"),
+    CLUB_ADDITION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while attempting addition of club"),
+    CLUB_UPDATE_SUCCESS(HttpStatus.OK, "Club update was a success"),
+    CLUB_UPDATE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while attempting update of club"),
+    CLUB_DELETED(HttpStatus.OK, "Club deleted successfully"),
+    CLUB_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while deleting club"),
+
+    USER_ID_EXISTS(HttpStatus.BAD_REQUEST, "User id Already exists"),
+    USER_NOT_FOUND(HttpStatus.BAD_REQUEST, "User Id does not exist"),
+    USER_ADDITION_SUCCESS(HttpStatus.OK, "User addition was a success"),
+    USER_ADDITION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while attempting addition of user"),
+    USER_UPDATE_SUCCESS(HttpStatus.OK, "User update was a success"),
+    USER_UPDATE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while attempting update of user"),
+    USER_DELETED(HttpStatus.OK, "User deleted successfully"),
+    USER_DELETE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "Issue while deleting user"),
+
+    DATABASE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Database temporarily unavailable"),
+    TOO_MANY_REQUESTS(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests");
+
+    private final HttpStatus status;
+    private final byte[] body;
+    private final ResponseEntity<byte[]> response;
+
+    ApiMessage(HttpStatus status, String msg) {
+        this.status = status;
+        // messages are fixed literals without characters that need JSON escaping
+        this.body = ("{\"msg\" : \"" + msg + "\"}").getBytes(StandardCharsets.UTF_8);
+        // ResponseEntity headers are read-only, so one instance can be returned to every request
+        this.response = ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    public ResponseEntity<byte[]> toResponse() {
+        return response;
+    }
+
+    /**
+     * Same message with an extra header, for the few responses that vary per request such as Retry-After.
+     */
+    public ResponseEntity<byte[]> withHeader(String name, String value) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).header(name, value).body(body);
+    }
+}
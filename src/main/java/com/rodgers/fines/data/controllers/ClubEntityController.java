@@ -1,70 +1,98 @@
 package com.rodgers.fines.data.controllers;
 
+import com.rodgers.fines.data.cache.EntityCache;
+import com.rodgers.fines.data.cache.TtlCache;
 import com.rodgers.fines.data.repository.ClubRepository;
+import com.rodgers.fines.data.resilience.MongoCallGuard;
+import com.rodgers.fines.data.resilience.MongoWriteException;
 import com.rodgers.fines.data.vo.Club;
+import com.rodgers.fines.data.vo.SearchResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping(value = "clubs")
 @Slf4j
 public class ClubEntityController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     @Autowired
     private ClubRepository clubRepository;
+    @Autowired
+    private MongoCallGuard mongoCallGuard;
+    @Autowired
+    private EntityCache<Club> clubCache;
+    @Autowired
+    private TtlCache<String, List<SearchResult>> clubSearchCache;
 
     @GetMapping("findAll")
     public List<Club> findAll() {
-        return clubRepository.findAll();
+        return mongoCallGuard.read(clubRepository::findAll);
     }
 
     @GetMapping("findByClubName")
     public Club findByClubName(@RequestParam("club") String clubName) {
-        return clubRepository.findByClubName(clubName);
+        return mongoCallGuard.read(() -> clubRepository.findByClubName(clubName));
+    }
+
+    @GetMapping("search")
+    public List<SearchResult> search(@RequestParam("prefix") String prefix,
+                                     @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if(prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String key = prefix.toLowerCase(Locale.ROOT) + '|' + boundedLimit;
+        return clubSearchCache.get(key, () -> mongoCallGuard.read(() -> clubRepository.searchByClubNamePrefix(prefix, boundedLimit))
+                .stream()
+                .map(club -> new SearchResult(club.getId(), club.getClubName()))
+                .toList());
     }
 
     @GetMapping("findById")
     public Club findById(@RequestParam("id") String id) {
-        return clubRepository.findById(id).orElse(null);
+        return clubCache.get(id, () -> mongoCallGuard.read(() -> clubRepository.findById(id).orElse(null)));
     }
 
     @PutMapping("addClub")
-    public ResponseEntity<String> addClub(@RequestBody() Club club) {
+    public ResponseEntity<byte[]> addClub(@RequestBody() Club club) {
         if(doesClubExist(club)) {
             log.error("Attempting to save a new club with existing Id Rejecting {} ", club);
-            return new ResponseEntity<>("{\"msg\" : \"Club id Already exists\"}", HttpStatus.BAD_REQUEST);
+            return ApiMessage.CLUB_ID_EXISTS.toResponse();
         }
-        return saveClub(club, "addition");
+        return saveClub(club, SaveAction.CLUB_ADDITION);
     }
 
     @PatchMapping("updateClub")
-    public ResponseEntity<String> updateClub(@RequestBody() Club club) {
+    public ResponseEntity<byte[]> updateClub(@RequestBody() Club club) {
         if(!doesClubExist(club)) {
             return userNotFoundStatus(club);
         }
-        return saveClub(club, "update");
+        return saveClub(club, SaveAction.CLUB_UPDATE);
     }
 
     @DeleteMapping("removeClub")
-    public ResponseEntity<String> removeClub(@RequestParam("id") String id) {
+    public ResponseEntity<byte[]> removeClub(@RequestParam("id") String id) {
         Club club = findById(id);
         if(club == null) {
             return userNotFoundStatus(null);
         } else {
             try {
-                clubRepository.delete(club);
-            } catch (Exception e) {
+                mongoCallGuard.write(() -> clubRepository.delete(club));
+                clubCache.evict(club.getId());
+            } catch (MongoWriteException e) {
                 log.error("Could not remove existing club | {}",e.getMessage());
-                return new ResponseEntity<>("{\"msg\" : \"Issue while deleting club\"}", HttpStatus.INTERNAL_SERVER_ERROR);
+                return ApiMessage.CLUB_DELETE_FAILED.toResponse();
             }
         }
         log.info("Club deleted successfully | {}",club);
-        return new ResponseEntity<>("{\"msg\" : \"Club deleted successfully\"}", HttpStatus.OK);
+        return ApiMessage.CLUB_DELETED.toResponse();
     }
 
     private boolean doesClubExist(Club club) {
@@ -75,19 +103,20 @@ public class ClubEntityController {
         }
     }
 
-    private ResponseEntity<String> userNotFoundStatus(Club club) {
+    private ResponseEntity<byte[]> userNotFoundStatus(Club club) {
         log.error("Id is null or club not found {} ", club);
-        return new ResponseEntity<>("{\"msg\" : \"Club Id does not exist\"}", HttpStatus.BAD_REQUEST);
+        return ApiMessage.CLUB_NOT_FOUND.toResponse();
     }
 
-    private ResponseEntity<String> saveClub(Club club, String action) {
+    private ResponseEntity<byte[]> saveClub(Club club, SaveAction action) {
         try {
-            clubRepository.save(club);
-        } catch (Exception e) {
-            log.error("Could not {} existing club | {}",action,e.getMessage());
-            return new ResponseEntity<>(String.format("{\"msg\" : \"Issue while attempting %s of club\"}",action), HttpStatus.INTERNAL_SERVER_ERROR);
+            mongoCallGuard.write(() -> clubRepository.save(club));
+            clubCache.evict(club.getId());
+        } catch (MongoWriteException e) {
+            log.error("Could not {} existing club | {}",action.verb(),e.getMessage());
+            return action.failure().toResponse();
         }
-        log.info("Club {} was a success | {}",action, club);
-        return new ResponseEntity<>(String.format("{\"msg\" : \"Club %s was a success\"}",action), HttpStatus.OK);
+        log.info("Club {} was a success | {}",action.verb(), club);
+        return action.success().toResponse();
     }
 }
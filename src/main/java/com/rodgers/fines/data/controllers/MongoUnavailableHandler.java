@@ -0,0 +1,35 @@
+package com.rodgers.fines.data.controllers;
+
+import com.rodgers.fines.data.resilience.MongoCallGuard;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+@Slf4j
+public class MongoUnavailableHandler {
+
+    @Autowired
+    private MongoCallGuard mongoCallGuard;
+
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<byte[]> circuitOpen(CallNotPermittedException e) {
+        log.warn("Mongo circuit breaker is {} rejecting call | {}", mongoCallGuard.state(), e.getMessage());
+        return unavailable(ApiMessage.DATABASE_UNAVAILABLE, mongoCallGuard.retryAfterSeconds());
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<byte[]> bulkheadFull(BulkheadFullException e) {
+        log.warn("Mongo bulkhead full rejecting call | {}", e.getMessage());
+        return unavailable(ApiMessage.TOO_MANY_REQUESTS, 1);
+    }
+
+    private ResponseEntity<byte[]> unavailable(ApiMessage message, long retryAfterSeconds) {
+        return message.withHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,34 @@
+package com.rodgers.fines.data.controllers;
+
+/**
+ * A save the controllers can perform, with the verb used in logs and the messages returned on success or failure.
+ */
+enum SaveAction {
+
+    CLUB_ADDITION("addition", ApiMessage.CLUB_ADDITION_SUCCESS, ApiMessage.CLUB_ADDITION_FAILED),
+    CLUB_UPDATE("update", ApiMessage.CLUB_UPDATE_SUCCESS, ApiMessage.CLUB_UPDATE_FAILED),
+    USER_ADDITION("addition", ApiMessage.USER_ADDITION_SUCCESS, ApiMessage.USER_ADDITION_FAILED),
+    USER_UPDATE("update", ApiMessage.USER_UPDATE_SUCCESS, ApiMessage.USER_UPDATE_FAILED);
+
+    private final String verb;
+    private final ApiMessage success;
+    private final ApiMessage failure;
+
+    SaveAction(String verb, ApiMessage success, ApiMessage failure) {
+        this.verb = verb;
+        this.success = success;
+        this.failure = failure;
+    }
+
+    public String verb() {
+        return verb;
+    }
+
+    public ApiMessage success() {
+        return success;
+    }
+
+    public ApiMessage failure() {
+        return failure;
+    }
+}
@@ -1,7 +1,12 @@
 package com.rodgers.fines.data.controllers;
 
+import com.rodgers.fines.data.cache.EntityCache;
+import com.rodgers.fines.data.cache.TtlCache;
 import com.rodgers.fines.data.repository.UserRepository;
+import com.rodgers.fines.data.resilience.MongoCallGuard;
+import com.rodgers.fines.data.resilience.MongoWriteException;
 import com.rodgers.fines.data.vo.LoginRequest;
+import com.rodgers.fines.data.vo.SearchResult;
 import com.rodgers.fines.data.vo.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,18 +15,29 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping(value = "users")
 @Slf4j
 public class UserEntityController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private MongoCallGuard mongoCallGuard;
+    @Autowired
+    private EntityCache<User> userCache;
+    @Autowired
+    private TtlCache<String, List<SearchResult>> userSearchCache;
     private final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder();
 
     @PostMapping("validLogin")
     public ResponseEntity<String> validLogin(@RequestBody() LoginRequest request) {
-        User user = userRepository.findByUserName(request.getUsername());
+        User user = mongoCallGuard.login(() -> userRepository.findByUserName(request.getUsername()));
         if(user != null) {
             if(ENCODER.matches(request.getPassword(), user.getPassword())) {
                 if(log.isDebugEnabled()) {
@@ -38,46 +54,61 @@ public class UserEntityController {
 
     @GetMapping("findByUserName")
     public User findByUserName(@RequestParam("user") String userName) {
-        return userRepository.findByUserName(userName);
+        return mongoCallGuard.read(() -> userRepository.findByUserName(userName));
+    }
+
+    @GetMapping("search")
+    public List<SearchResult> search(@RequestParam("prefix") String prefix,
+                                     @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if(prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String key = prefix.toLowerCase(Locale.ROOT) + '|' + boundedLimit;
+        return userSearchCache.get(key, () -> mongoCallGuard.read(() -> userRepository.searchByUserNamePrefix(prefix, boundedLimit))
+                .stream()
+                .map(user -> new SearchResult(user.getId(), user.getUserName()))
+                .toList());
     }
 
     @GetMapping("findById")
     public User findById(@RequestParam("id") String id) {
-        return userRepository.findById(id).orElse(null);
+        return userCache.get(id, () -> mongoCallGuard.read(() -> userRepository.findById(id).orElse(null)));
     }
 
     @PutMapping("addUser")
-    public ResponseEntity<String> addUser(@RequestBody() User user) {
+    public ResponseEntity<byte[]> addUser(@RequestBody() User user) {
         if(doesUserExist(user)) {
             log.error("Attempting to save a new user with existing Id or username Rejecting {} ", user);
-            return new ResponseEntity<>("{\"msg\" : \"User id Already exists\"}", HttpStatus.BAD_REQUEST);
+            return ApiMessage.USER_ID_EXISTS.toResponse();
         }
-        return saveUser(user, "addition");
+        return saveUser(user, SaveAction.USER_ADDITION);
     }
 
     @PatchMapping("updateUser")
-    public ResponseEntity<String> updateUser(@RequestBody() User user) {
+    public ResponseEntity<byte[]> updateUser(@RequestBody() User user) {
         if(!doesUserExist(user)) {
             return userNotFoundStatus(user);
         }
-        return saveUser(user, "update");
+        return saveUser(user, SaveAction.USER_UPDATE);
     }
 
     @DeleteMapping("removeUser")
-    public ResponseEntity<String> removeUser(@RequestParam("id") String id) {
+    public ResponseEntity<byte[]> removeUser(@RequestParam("id") String id) {
         User user = findById(id);
         if(user == null) {
             return userNotFoundStatus(null);
         } else {
             try {
-                userRepository.delete(user);
-            } catch (Exception e) {
+                mongoCallGuard.write(() -> userRepository.delete(user));
+                userCache.evict(user.getId());
+            } catch (MongoWriteException e) {
                 log.error("Could not remove existing user | {}",e.getMessage());
-                return new ResponseEntity<>("{\"msg\" : \"Issue while deleting user\"}", HttpStatus.INTERNAL_SERVER_ERROR);
+                return ApiMessage.USER_DELETE_FAILED.toResponse();
             }
         }
         log.info("User deleted successfully | {}",user);
-        return new ResponseEntity<>("{\"msg\" : \"User deleted successfully\"}", HttpStatus.OK);
+        return ApiMessage.USER_DELETED.toResponse();
     }
 
     private boolean doesUserExist(User user) {
@@ -88,19 +119,20 @@ public class UserEntityController {
         }
     }
 
-    private ResponseEntity<String> userNotFoundStatus(User user) {
+    private ResponseEntity<byte[]> userNotFoundStatus(User user) {
         log.error("Id is null or user not found {} ", user);
-        return new ResponseEntity<>("{\"msg\" : \"User Id does not exist\"}", HttpStatus.BAD_REQUEST);
+        return ApiMessage.USER_NOT_FOUND.toResponse();
     }
 
-    private ResponseEntity<String> saveUser(User user, String action) {
+    private ResponseEntity<byte[]> saveUser(User user, SaveAction action) {
         try {
-            userRepository.save(user);
-        } catch (Exception e) {
-            log.error("Could not {} existing user | {}",action,e.getMessage());
-            return new ResponseEntity<>(String.format("{\"msg\" : \"Issue while attempting %s of user\"}",action), HttpStatus.INTERNAL_SERVER_ERROR);
+            mongoCallGuard.write(() -> userRepository.save(user));
+            userCache.evict(user.getId());
+        } catch (MongoWriteException e) {
+            log.error("Could not {} existing user | {}",action.verb(),e.getMessage());
+            return action.failure().toResponse();
         }
-        log.info("User {} was a success | {}",action, user);
-        return new ResponseEntity<>(String.format("{\"msg\" : \"User %s was a success\"}",action), HttpStatus.OK);
+        log.info("User {} was a success | {}",action.verb(), user);
+        return action.success().toResponse();
     }
 }
@@ -1,10 +1,26 @@
 package com.rodgers.fines.data.repository;
 
 import com.rodgers.fines.data.vo.Club;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import java.util.List;
+
 @RepositoryRestResource(exported = false)
 public interface ClubRepository extends MongoRepository<Club, String> {
     Club findByClubName(String clubName);
+
+    /**
+     * Case insensitive prefix match, run as a range over the collated clubName index
+     * rather than a regex so it stays an index scan. Only id and clubName are returned.
+     */
+    default List<Club> searchByClubNamePrefix(String prefix, int limit) {
+        return findClubNamesBetween(prefix, prefix + '\uffff', Limit.of(limit));
+    }
+
+    @Query(value = "{ 'clubName' : { '$gte' : ?0, '$lt' : ?1 } }", fields = "{ 'clubName' : 1 }",
+            sort = "{ 'clubName' : 1 }", collation = Collations.CASE_INSENSITIVE)
+    List<Club> findClubNamesBetween(String from, String to, Limit limit);
 }
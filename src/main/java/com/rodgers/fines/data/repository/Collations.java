@@ -0,0 +1,13 @@
+package com.rodgers.fines.data.repository;
+
+public final class Collations {
+
+    /**
+     * Case insensitive collation shared by the name indexes and the prefix search queries,
+     * a query only uses a collated index when both collations match.
+     */
+    public static final String CASE_INSENSITIVE = "{ 'locale' : 'en', 'strength' : 2 }";
+
+    private Collations() {
+    }
+}
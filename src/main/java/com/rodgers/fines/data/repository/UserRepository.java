@@ -1,10 +1,26 @@
 package com.rodgers.fines.data.repository;
 
 import com.rodgers.fines.data.vo.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import java.util.List;
+
 @RepositoryRestResource(exported = false)
 public interface UserRepository extends MongoRepository<User, String> {
     User findByUserName(String userName);
+
+    /**
+     * Case insensitive prefix match, run as a range over the collated userName index
+     * rather than a regex so it stays an index scan. Only id and userName are returned.
+     */
+    default List<User> searchByUserNamePrefix(String prefix, int limit) {
+        return findUserNamesBetween(prefix, prefix + '\uffff', Limit.of(limit));
+    }
+
+    @Query(value = "{ 'userName' : { '$gte' : ?0, '$lt' : ?1 } }", fields = "{ 'userName' : 1 }",
+            sort = "{ 'userName' : 1 }", collation = Collations.CASE_INSENSITIVE)
+    List<User> findUserNamesBetween(String from, String to, Limit limit);
 }
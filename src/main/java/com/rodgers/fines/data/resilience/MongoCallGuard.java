@@ -0,0 +1,80 @@
+package com.rodgers.fines.data.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps repository calls in a per-operation bulkhead and the shared Mongo circuit breaker,
+ * so a slow or failing cluster rejects work straight away instead of tying up request threads.
+ * Instances are configured under resilience4j.* in application.yml.
+ */
+@Component
+public class MongoCallGuard {
+
+    public static final String CIRCUIT_BREAKER = "mongo";
+    public static final String READ_BULKHEAD = "mongoRead";
+    public static final String WRITE_BULKHEAD = "mongoWrite";
+    public static final String LOGIN_BULKHEAD = "mongoLogin";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Bulkhead loginBulkhead;
+
+    @Autowired
+    public MongoCallGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.readBulkhead = bulkheadRegistry.bulkhead(READ_BULKHEAD);
+        this.writeBulkhead = bulkheadRegistry.bulkhead(WRITE_BULKHEAD);
+        this.loginBulkhead = bulkheadRegistry.bulkhead(LOGIN_BULKHEAD);
+    }
+
+    public <T> T read(Supplier<T> call) {
+        return guard(readBulkhead, call);
+    }
+
+    /**
+     * Runs a write, reporting its failure as a checked {@link MongoWriteException} so callers can
+     * handle it without also catching the breaker and bulkhead rejections.
+     */
+    public void write(Runnable call) throws MongoWriteException {
+        try {
+            guard(writeBulkhead, () -> {
+                call.run();
+                return null;
+            });
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new MongoWriteException(e);
+        }
+    }
+
+    public <T> T login(Supplier<T> call) {
+        return guard(loginBulkhead, call);
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Seconds a client should wait before retrying while the breaker is open, rounded up.
+     */
+    public long retryAfterSeconds() {
+        long waitMillis = circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    private <T> T guard(Bulkhead bulkhead, Supplier<T> call) {
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+}
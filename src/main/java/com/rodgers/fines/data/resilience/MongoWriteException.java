@@ -0,0 +1,12 @@
+package com.rodgers.fines.data.resilience;
+
+/**
+ * A guarded write that reached Mongo and failed. Rejections by the breaker or a bulkhead are not
+ * wrapped, they stay unchecked so they reach MongoUnavailableHandler and become a 503.
+ */
+public class MongoWriteException extends Exception {
+
+    public MongoWriteException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+}
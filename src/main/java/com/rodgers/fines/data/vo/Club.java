@@ -1,9 +1,12 @@
 package com.rodgers.fines.data.vo;
 
+import com.rodgers.fines.data.repository.Collations;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,10 +14,12 @@ import java.util.List;
 @Getter
 @Setter
 @ToString
+@Document
 public class Club {
 
     @Id
     private String id;
+    @Indexed(name = "clubName_ci", collation = Collations.CASE_INSENSITIVE)
     private String clubName;
     private String adminId;
     private List<String> memberIds;
@@ -0,0 +1,9 @@
+package com.rodgers.fines.data.vo;
+
+import lombok.Value;
+
+@Value
+public class SearchResult {
+    String id;
+    String name;
+}
@@ -2,20 +2,25 @@ package com.rodgers.fines.data.vo;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.rodgers.fines.data.repository.Collations;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
 @Setter
 @ToString
+@Document
 @NoArgsConstructor
 public class User {
 
     @Id
     private String id;
+    @Indexed(name = "userName_ci", collation = Collations.CASE_INSENSITIVE)
     private String userName;
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
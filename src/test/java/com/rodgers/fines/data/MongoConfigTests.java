@@ -0,0 +1,29 @@
+package com.rodgers.fines.data;
+
+import com.mongodb.MongoClientSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class MongoConfigTests {
+
+    @Autowired
+    MongoClientSettingsBuilderCustomizer mongoTimeoutCustomizer;
+
+    @Test
+    public void testEveryOperationGetsConfiguredTimeout() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        mongoTimeoutCustomizer.customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(3000L, settings.getTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(2000L, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(2000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,96 @@
+package com.rodgers.fines.data.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rodgers.fines.data.controllers.ApiMessage;
+import com.rodgers.fines.data.vo.Club;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reports bytes on the wire and CPU per request for club payloads and the fixed message bodies,
+ * mirroring the server.compression settings in application.yml. Run with ./gradlew benchmark
+ */
+@Tag("benchmark")
+class ResponseBodyBenchmark {
+
+    private static final int MIN_COMPRESS_BYTES = (int) DataSize.parse("2KB").toBytes();
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void clubPayloads() throws IOException {
+        System.out.printf("%-12s %10s %10s %12s%n", "payload", "raw bytes", "wire bytes", "cpu ns/req");
+        for (int members : new int[]{1, 50, 5_000}) {
+            Club club = club(members);
+            byte[] raw = mapper.writeValueAsBytes(club);
+            byte[] wire = onWire(raw);
+            long cpu = cpuPerRequest(() -> onWire(mapper.writeValueAsBytes(club)));
+            System.out.printf("%-12s %10d %10d %12d%n", members + " members", raw.length, wire.length, cpu);
+            if (raw.length >= MIN_COMPRESS_BYTES) {
+                assertTrue(wire.length < raw.length);
+            }
+        }
+    }
+
+    @Test
+    public void messageBodies() throws IOException {
+        long formatted = cpuPerRequest(() -> new ResponseEntity<>(
+                String.format("{\"msg\" : \"Club %s was a success\"}", "addition"), HttpStatus.OK));
+        long preBuilt = cpuPerRequest(ApiMessage.CLUB_ADDITION_SUCCESS::toResponse);
+        byte[] body = ApiMessage.CLUB_ADDITION_SUCCESS.toResponse().getBody();
+        System.out.printf("message body %d bytes on wire, String.format response %d ns/req, pre-built response %d ns/req%n",
+                onWire(body).length, formatted, preBuilt);
+        assertEquals(body.length, onWire(body).length);
+    }
+
+    private long cpuPerRequest(Request request) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / ITERATIONS;
+    }
+
+    private static byte[] onWire(byte[] raw) throws IOException {
+        if (raw.length < MIN_COMPRESS_BYTES) {
+            return raw;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static Club club(int members) {
+        Club club = new Club("North Down", "65f1c2a9e4b0a1d2c3e4f500");
+        club.setId("65f1c2a9e4b0a1d2c3e4f5ff");
+        for (int i = 1; i < members; i++) {
+            club.getMemberIds().add(String.format("65f1c2a9e4b0a1d2c3%06x", i));
+        }
+        return club;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        Object run() throws IOException;
+    }
+}
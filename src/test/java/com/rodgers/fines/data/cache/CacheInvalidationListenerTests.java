@@ -0,0 +1,152 @@
+package com.rodgers.fines.data.cache;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationListenerTests {
+
+    private final InMemoryChangeEventSource source = new InMemoryChangeEventSource();
+    private final EntityCache<String> clubCache = new EntityCache<>("club", 100);
+    private final EntityCache<String> userCache = new EntityCache<>("user", 100);
+    private final CacheInvalidationListener listener = new CacheInvalidationListener(source, List.of(clubCache, userCache), 10);
+
+    @BeforeEach
+    public void start() {
+        listener.start();
+        awaitTrue(() -> source.getOpens() == 1);
+        clubCache.get("1", () -> "North Down");
+        clubCache.get("2", () -> "Big girls Bingo");
+        userCache.get("1", () -> "user1");
+    }
+
+    @AfterEach
+    public void stop() {
+        listener.stop();
+    }
+
+    @Test
+    public void testUpdateEvictsOnlyThatId() {
+        source.publish("club", "1", ChangeEvent.Type.CHANGED);
+
+        awaitTrue(() -> clubCache.size() == 1);
+        assertEquals("Big girls Bingo", clubCache.get("2", () -> "reloaded"));
+        assertEquals("user1", userCache.get("1", () -> "reloaded"));
+    }
+
+    @Test
+    public void testDeleteEvictsFromMatchingCollection() {
+        source.publish("user", "1", ChangeEvent.Type.DELETED);
+
+        awaitTrue(() -> userCache.size() == 0);
+        assertEquals(2, clubCache.size());
+    }
+
+    @Test
+    public void testUnwatchedCollectionIsIgnored() {
+        source.publish("fines", "1", ChangeEvent.Type.CHANGED);
+        source.publish("club", "2", ChangeEvent.Type.CHANGED);
+
+        awaitTrue(() -> clubCache.size() == 1);
+        assertEquals(1, userCache.size());
+    }
+
+    @Test
+    public void testInvalidateFlushesEverything() {
+        source.publish("club", null, ChangeEvent.Type.INVALIDATED);
+
+        awaitTrue(() -> clubCache.size() == 0 && userCache.size() == 0);
+    }
+
+    @Test
+    public void testResumesFromLastTokenAfterDisconnect() {
+        source.publish("club", "1", ChangeEvent.Type.CHANGED);
+        awaitTrue(() -> listener.getResumeToken() != null);
+
+        source.disconnect();
+        awaitTrue(() -> source.getOpens() == 2);
+
+        assertEquals(listener.getResumeToken(), source.getWatchedFrom().get(1));
+        assertEquals(1, clubCache.size());
+        assertEquals(1, userCache.size());
+    }
+
+    @Test
+    public void testUnwatchedActivityKeepsTokenInsideHistory() {
+        source.publish("club", "1", ChangeEvent.Type.CHANGED);
+        source.publish("fines", "1", ChangeEvent.Type.CHANGED);
+        source.publish("fines", "2", ChangeEvent.Type.CHANGED);
+        awaitTrue(() -> new BsonDocument("position", new BsonInt64(2)).equals(listener.getResumeToken()));
+
+        source.expireHistoryBefore(2);
+        source.disconnect();
+        awaitTrue(() -> source.getOpens() == 2);
+
+        assertEquals(listener.getResumeToken(), source.getWatchedFrom().get(1));
+        assertEquals(1, clubCache.size());
+        assertEquals(1, userCache.size());
+    }
+
+    @Test
+    public void testExpiredTokenFlushesAndRestartsFromNow() {
+        source.publish("club", "1", ChangeEvent.Type.CHANGED);
+        awaitTrue(() -> listener.getResumeToken() != null);
+
+        source.expireHistory();
+        source.disconnect();
+        awaitTrue(() -> source.getOpens() == 2);
+
+        assertNull(source.getWatchedFrom().get(2));
+        assertEquals(0, clubCache.size());
+        assertEquals(0, userCache.size());
+    }
+
+    @Test
+    public void testLoadBeforeRestartedStreamOpensIsFlushed() {
+        source.publish("club", "1", ChangeEvent.Type.CHANGED);
+        awaitTrue(() -> listener.getResumeToken() != null);
+
+        // a read on another thread caches a document after the old stream dropped but before the new one opened
+        source.onNextOpen(() -> clubCache.get("3", () -> "stale"));
+        source.expireHistory();
+        source.disconnect();
+        awaitTrue(() -> source.getOpens() == 2);
+
+        assertEquals("reloaded", clubCache.get("3", () -> "reloaded"));
+    }
+
+    @Test
+    public void testNothingCachedUntilStreamOpens() {
+        InMemoryChangeEventSource unavailable = new InMemoryChangeEventSource();
+        unavailable.refuseWatches(new IllegalStateException("The $changeStream stage is only supported on replica sets"));
+        EntityCache<String> cache = new EntityCache<>("club", 100);
+        CacheInvalidationListener refused = new CacheInvalidationListener(unavailable, List.of(cache), 10);
+        refused.start();
+        try {
+            awaitTrue(() -> unavailable.getWatchedFrom().size() >= 2);
+
+            assertEquals("North Down", cache.get("1", () -> "North Down"));
+            assertEquals("reloaded", cache.get("1", () -> "reloaded"));
+            assertEquals(0, cache.size());
+        } finally {
+            refused.stop();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met within 5s");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
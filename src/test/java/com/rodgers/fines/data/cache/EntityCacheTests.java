@@ -0,0 +1,86 @@
+package com.rodgers.fines.data.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTests {
+
+    @Test
+    public void testLoadsThroughUntilEnabled() {
+        EntityCache<String> cache = new EntityCache<>("club", 100);
+
+        assertEquals("North Down", cache.get("1", () -> "North Down"));
+        assertEquals(0, cache.size());
+
+        cache.enable();
+        cache.get("1", () -> "North Down");
+        assertEquals("North Down", cache.get("1", () -> "reloaded"));
+    }
+
+    @Test
+    public void testLoadRacingAnEvictionIsNotCached() {
+        EntityCache<String> cache = new EntityCache<>("club", 100);
+        cache.enable();
+
+        assertEquals("stale", cache.get("3", () -> {
+            cache.evict("3");
+            return "stale";
+        }));
+        assertEquals("fresh", cache.get("3", () -> "fresh"));
+    }
+
+    @Test
+    public void testEvictBetweenCheckAndPutIsNotCached() {
+        InterleavingMap map = new InterleavingMap();
+        EntityCache<String> cache = new EntityCache<>("club", 100, map);
+        cache.enable();
+        map.beforePut = c -> cache.evict("1");
+
+        assertEquals("stale", cache.get("1", () -> "stale"));
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get("1", () -> "fresh"));
+    }
+
+    @Test
+    public void testClearBetweenCheckAndPutIsNotCached() {
+        InterleavingMap map = new InterleavingMap();
+        EntityCache<String> cache = new EntityCache<>("club", 100, map);
+        cache.enable();
+        map.beforePut = c -> cache.clear();
+
+        cache.get("1", () -> "stale");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNeverGrowsPastMaxEntries() {
+        EntityCache<String> cache = new EntityCache<>("user", 2);
+        cache.enable();
+        cache.get("1", () -> "user1");
+        cache.get("2", () -> "user2");
+        cache.get("3", () -> "user3");
+
+        assertEquals(2, cache.size());
+        assertEquals("user3", cache.get("3", () -> "reloaded"));
+    }
+
+    /**
+     * Runs an action just before the cache writes an entry, the window between its stamp check and put.
+     */
+    private static class InterleavingMap extends ConcurrentHashMap<String, String> {
+
+        private Consumer<String> beforePut = id -> { };
+
+        @Override
+        public String putIfAbsent(String key, String value) {
+            Consumer<String> action = beforePut;
+            beforePut = id -> { };
+            action.accept(key);
+            return super.putIfAbsent(key, value);
+        }
+    }
+}
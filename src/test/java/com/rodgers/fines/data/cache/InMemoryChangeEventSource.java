@@ -0,0 +1,124 @@
+package com.rodgers.fines.data.cache;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Stand-in for a Mongo change stream. Every published event gets a sequential resume token,
+ * events are retained so a watch can resume after a token, and history can be expired or the
+ * connection dropped to exercise the listener's recovery paths. Events for unwatched collections
+ * only advance the resume token, like the post batch token of a filtered Mongo change stream.
+ */
+class InMemoryChangeEventSource implements ChangeEventSource {
+
+    private static final ChangeEvent CLOSE = new ChangeEvent(null, null, ChangeEvent.Type.INVALIDATED, null);
+    private static final ChangeEvent DISCONNECT = new ChangeEvent(null, null, ChangeEvent.Type.INVALIDATED, null);
+
+    private final List<ChangeEvent> history = new ArrayList<>();
+    private final BlockingQueue<ChangeEvent> live = new LinkedBlockingQueue<>();
+    private final List<BsonDocument> watchedFrom = new ArrayList<>();
+    private long oldestAvailable = 0;
+    private int opens = 0;
+    private Runnable onOpen = () -> { };
+    private RuntimeException refusal;
+
+    synchronized void publish(String collection, String id, ChangeEvent.Type type) {
+        ChangeEvent event = new ChangeEvent(collection, id, type, token(history.size()));
+        history.add(event);
+        live.add(event);
+    }
+
+    synchronized void expireHistory() {
+        expireHistoryBefore(history.size());
+    }
+
+    synchronized void expireHistoryBefore(long position) {
+        oldestAvailable = position;
+    }
+
+    void disconnect() {
+        live.add(DISCONNECT);
+    }
+
+    synchronized List<BsonDocument> getWatchedFrom() {
+        return new ArrayList<>(watchedFrom);
+    }
+
+    synchronized int getOpens() {
+        return opens;
+    }
+
+    /**
+     * Makes every following watch fail before opening, like a standalone server or a user without
+     * the changeStream privilege.
+     */
+    synchronized void refuseWatches(RuntimeException error) {
+        refusal = error;
+    }
+
+    /**
+     * Runs once when the next stream is positioned, before the listener is told it is open.
+     */
+    synchronized void onNextOpen(Runnable action) {
+        onOpen = action;
+    }
+
+    @Override
+    public void watch(Collection<String> collections, BsonDocument resumeToken, ChangeListener listener) {
+        synchronized (this) {
+            watchedFrom.add(resumeToken);
+            if (refusal != null) {
+                throw refusal;
+            }
+            live.clear();
+            int from = history.size();
+            if (resumeToken != null) {
+                long position = resumeToken.getInt64("position").getValue();
+                if (position < oldestAvailable) {
+                    throw new ResumeTokenExpiredException("position " + position + " no longer available", null);
+                }
+                from = (int) position + 1;
+            }
+            live.addAll(history.subList(from, history.size()));
+            onOpen.run();
+            onOpen = () -> { };
+            listener.opened();
+            opens++;
+        }
+        while (true) {
+            ChangeEvent event;
+            try {
+                event = live.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (event == CLOSE) {
+                return;
+            }
+            if (event == DISCONNECT) {
+                throw new IllegalStateException("connection reset");
+            }
+            if (collections.contains(event.getCollection()) || event.getCollection() == null) {
+                listener.changed(event);
+            } else {
+                listener.resumeTokenAdvanced(event.getResumeToken());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        live.add(CLOSE);
+    }
+
+    private static BsonDocument token(long position) {
+        return new BsonDocument("position", new BsonInt64(position));
+    }
+}
@@ -0,0 +1,105 @@
+package com.rodgers.fines.data.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTests {
+
+    private final AtomicLong now = new AtomicLong(1000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final TtlCache<String, String> cache = new TtlCache<>(100, 2, now::get);
+
+    @Test
+    public void testServedFromCacheWithinTtl() {
+        assertEquals("1", cache.get("nor", this::load));
+        now.addAndGet(99);
+        assertEquals("1", cache.get("nor", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testReloadedAfterTtl() {
+        cache.get("nor", this::load);
+        now.addAndGet(100);
+        assertEquals("2", cache.get("nor", this::load));
+    }
+
+    @Test
+    public void testExpiredEntriesPurgedWhenFull() {
+        cache.get("a", this::load);
+        now.addAndGet(50);
+        cache.get("b", this::load);
+        now.addAndGet(60);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals("2", cache.get("b", this::load));
+    }
+
+    @Test
+    public void testOldestEvictedWhenFull() {
+        cache.get("a", this::load);
+        now.addAndGet(1);
+        cache.get("b", this::load);
+        now.addAndGet(1);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals("2", cache.get("b", this::load));
+        assertEquals("3", cache.get("c", this::load));
+        assertEquals("4", cache.get("a", this::load));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("nor", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return load();
+            }));
+            started.await();
+            Future<String> second = executor.submit(() -> cache.get("nor", this::load));
+            release.countDown();
+
+            assertEquals("1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("1", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get("nor", () -> {
+            throw new IllegalStateException("timed out");
+        }));
+        assertEquals("1", cache.get("nor", this::load));
+    }
+
+    private String load() {
+        return String.valueOf(loads.incrementAndGet());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
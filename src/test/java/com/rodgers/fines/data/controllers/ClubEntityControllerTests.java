@@ -1,17 +1,29 @@
 package com.rodgers.fines.data.controllers;
 
+import com.rodgers.fines.data.cache.EntityCache;
+import com.rodgers.fines.data.cache.TtlCache;
 import com.rodgers.fines.data.repository.ClubRepository;
+import com.rodgers.fines.data.resilience.MongoCallGuard;
 import com.rodgers.fines.data.vo.Club;
+import com.rodgers.fines.data.vo.SearchResult;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,9 +36,25 @@ class ClubEntityControllerTests {
     @Mock
     ClubRepository clubRepository;
 
+    CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    @Spy
+    MongoCallGuard mongoCallGuard = new MongoCallGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults());
+
+    @Spy
+    EntityCache<Club> clubCache = new EntityCache<>("club", 100);
+
+    @Spy
+    TtlCache<String, List<SearchResult>> clubSearchCache = new TtlCache<>(30000, 100);
+
     @InjectMocks
     ClubEntityController controller = new ClubEntityController();
 
+    @BeforeEach
+    public void enableCache() {
+        clubCache.enable();
+    }
+
     @Test
     public void testFindAllEmptyList() {
         when(clubRepository.findAll()).thenReturn(new ArrayList<>());
@@ -73,6 +101,46 @@ class ClubEntityControllerTests {
         assertNotNull(controller.findById("1"));
     }
 
+    @Test
+    public void testFindByIdServedFromCacheUntilEvicted() {
+        when(clubRepository.findById("1")).thenReturn(Optional.of(new Club("North Down","Darren Rodgers")));
+
+        controller.findById("1");
+        controller.findById("1");
+        Mockito.verify(clubRepository, Mockito.times(1)).findById("1");
+
+        clubCache.evict("1");
+        controller.findById("1");
+        Mockito.verify(clubRepository, Mockito.times(2)).findById("1");
+    }
+
+    @Test
+    public void testSearchProjectsIdAndName() {
+        Club club = new Club("North Down","Darren Rodgers");
+        club.setId("1");
+        when(clubRepository.searchByClubNamePrefix("nor", 10)).thenReturn(List.of(club));
+
+        List<SearchResult> results = controller.search("nor", 10);
+        assertEquals(1, results.size());
+        assertEquals("1", results.get(0).getId());
+        assertEquals("North Down", results.get(0).getName());
+    }
+
+    @Test
+    public void testSearchCachesHotPrefixIgnoringCase() {
+        when(clubRepository.searchByClubNamePrefix(Mockito.anyString(), Mockito.anyInt())).thenReturn(List.of());
+
+        controller.search("Nor", 10);
+        controller.search("nor", 10);
+        Mockito.verify(clubRepository, Mockito.times(1)).searchByClubNamePrefix(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testSearchLimitIsBounded() {
+        controller.search("nor", 500);
+        Mockito.verify(clubRepository).searchByClubNamePrefix("nor", 50);
+    }
+
     @Test
     public void testNewClubIdAlreadyExists() {
         Club club = Mockito.mock(Club.class);
@@ -80,9 +148,9 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         when(clubRepository.findById("1")).thenReturn(Optional.of(club));
 
-        ResponseEntity<String> resp = controller.addClub(club);
+        ResponseEntity<byte[]> resp = controller.addClub(club);
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club id Already exists\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club id Already exists\"}", body(resp));
     }
 
     @Test
@@ -92,9 +160,9 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         when(clubRepository.findByClubName("North Down")).thenReturn(club);
 
-        ResponseEntity<String> resp = controller.addClub(club);
+        ResponseEntity<byte[]> resp = controller.addClub(club);
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club id Already exists\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club id Already exists\"}", body(resp));
     }
 
     @Test
@@ -104,9 +172,9 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         doThrow(NullPointerException.class).when(clubRepository).save(club);
 
-        ResponseEntity<String> resp = controller.addClub(club);
+        ResponseEntity<byte[]> resp = controller.addClub(club);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Issue while attempting addition of club\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Issue while attempting addition of club\"}", body(resp));
     }
 
     @Test
@@ -115,9 +183,20 @@ class ClubEntityControllerTests {
         when(club.getId()).thenReturn("1");
         when(club.getClubName()).thenReturn("North Down");
 
-        ResponseEntity<String> resp = controller.addClub(club);
+        ResponseEntity<byte[]> resp = controller.addClub(club);
         assertEquals(HttpStatus.OK, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club addition was a success\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club addition was a success\"}", body(resp));
+    }
+
+    @Test
+    public void testResponsesArePreBuiltJson() {
+        Club club = Mockito.mock(Club.class);
+        when(club.getClubName()).thenReturn("North Down");
+
+        ResponseEntity<byte[]> first = controller.addClub(club);
+        ResponseEntity<byte[]> second = controller.addClub(club);
+        assertSame(first, second);
+        assertEquals(MediaType.APPLICATION_JSON, first.getHeaders().getContentType());
     }
 
     @Test
@@ -126,9 +205,9 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         when(clubRepository.findById("1")).thenReturn(Optional.of(club));
 
-        ResponseEntity<String> resp = controller.updateClub(club);
+        ResponseEntity<byte[]> resp = controller.updateClub(club);
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club Id does not exist\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -137,9 +216,9 @@ class ClubEntityControllerTests {
         when(club.getId()).thenReturn("1");
         when(club.getClubName()).thenReturn("North Down");
 
-        ResponseEntity<String> resp = controller.updateClub(club);
+        ResponseEntity<byte[]> resp = controller.updateClub(club);
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club Id does not exist\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -149,9 +228,9 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         when(clubRepository.findById("1")).thenReturn(Optional.of(club));
 
-        ResponseEntity<String> resp = controller.updateClub(club);
+        ResponseEntity<byte[]> resp = controller.updateClub(club);
         assertEquals(HttpStatus.OK, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club update was a success\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club update was a success\"}", body(resp));
     }
 
     @Test
@@ -160,9 +239,9 @@ class ClubEntityControllerTests {
         when(club.getId()).thenReturn("1");
         when(club.getClubName()).thenReturn("North Down");
 
-        ResponseEntity<String> resp = controller.removeClub("1");
+        ResponseEntity<byte[]> resp = controller.removeClub("1");
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club Id does not exist\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -173,9 +252,9 @@ class ClubEntityControllerTests {
         when(clubRepository.findById("1")).thenReturn(Optional.of(club));
         doThrow(NullPointerException.class).when(clubRepository).delete(club);
 
-        ResponseEntity<String> resp = controller.removeClub("1");
+        ResponseEntity<byte[]> resp = controller.removeClub("1");
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Issue while deleting club\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Issue while deleting club\"}", body(resp));
     }
 
     @Test
@@ -185,9 +264,25 @@ class ClubEntityControllerTests {
         when(club.getClubName()).thenReturn("North Down");
         when(clubRepository.findById("1")).thenReturn(Optional.of(club));
 
-        ResponseEntity<String> resp = controller.removeClub("1");
+        ResponseEntity<byte[]> resp = controller.removeClub("1");
         assertEquals(HttpStatus.OK, resp.getStatusCode());
-        assertEquals("{\"msg\" : \"Club deleted successfully\"}", resp.getBody());
+        assertEquals("{\"msg\" : \"Club deleted successfully\"}", body(resp));
     }
 
+    @Test
+    public void testSaveClubCircuitOpenFailsFast() {
+        Club club = Mockito.mock(Club.class);
+        when(club.getId()).thenReturn("1");
+        when(club.getClubName()).thenReturn("North Down");
+        when(clubRepository.findById("1")).thenReturn(Optional.of(club));
+        circuitBreakerRegistry.circuitBreaker(MongoCallGuard.CIRCUIT_BREAKER).transitionToForcedOpenState();
+
+        assertThrows(CallNotPermittedException.class, () -> controller.updateClub(club));
+        Mockito.verify(clubRepository, Mockito.never()).findById("1");
+        Mockito.verify(clubRepository, Mockito.never()).save(club);
+    }
+
+    private static String body(ResponseEntity<byte[]> resp) {
+        return new String(resp.getBody(), StandardCharsets.UTF_8);
+    }
 }
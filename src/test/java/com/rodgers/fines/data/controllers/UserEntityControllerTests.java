@@ -1,18 +1,29 @@
 package com.rodgers.fines.data.controllers;
 
+import com.rodgers.fines.data.cache.EntityCache;
+import com.rodgers.fines.data.cache.TtlCache;
 import com.rodgers.fines.data.repository.UserRepository;
+import com.rodgers.fines.data.resilience.MongoCallGuard;
 import com.rodgers.fines.data.vo.LoginRequest;
+import com.rodgers.fines.data.vo.SearchResult;
 import com.rodgers.fines.data.vo.User;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.doThrow;
@@ -24,9 +35,25 @@ class UserEntityControllerTests {
     @Mock
     UserRepository userRepository;
 
+    CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    @Spy
+    MongoCallGuard mongoCallGuard = new MongoCallGuard(circuitBreakerRegistry, BulkheadRegistry.ofDefaults());
+
+    @Spy
+    EntityCache<User> userCache = new EntityCache<>("user", 100);
+
+    @Spy
+    TtlCache<String, List<SearchResult>> userSearchCache = new TtlCache<>(30000, 100);
+
     @InjectMocks
     UserEntityController controller = new UserEntityController();
 
+    @BeforeEach
+    public void enableCache() {
+        userCache.enable();
+    }
+
     @Test
     public void testFindByUserNameNotFound() {
         when(userRepository.findByUserName("user1")).thenReturn(new User("user1"));
@@ -59,6 +86,25 @@ class UserEntityControllerTests {
         Assertions.assertNotNull(controller.findById("1"));
     }
 
+    @Test
+    public void testSearchBlankPrefixSkipsQuery() {
+        Assertions.assertTrue(controller.search(" ", 10).isEmpty());
+        Mockito.verify(userRepository, Mockito.never()).searchByUserNamePrefix(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testSearchProjectsIdAndName() {
+        User user = new User("user1");
+        user.setId("1");
+        user.setPassword("secret");
+        when(userRepository.searchByUserNamePrefix("us", 10)).thenReturn(List.of(user));
+
+        List<SearchResult> results = controller.search("us", 10);
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertEquals("1", results.get(0).getId());
+        Assertions.assertEquals("user1", results.get(0).getName());
+    }
+
     @Test
     public void testNewUserIdAlreadyExists() {
         User user = Mockito.mock(User.class);
@@ -66,9 +112,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
 
-        ResponseEntity<String> resp = controller.addUser(user);
+        ResponseEntity<byte[]> resp = controller.addUser(user);
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User id Already exists\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User id Already exists\"}", body(resp));
     }
 
     @Test
@@ -78,9 +124,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         when(userRepository.findByUserName("user1")).thenReturn(user);
 
-        ResponseEntity<String> resp = controller.addUser(user);
+        ResponseEntity<byte[]> resp = controller.addUser(user);
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User id Already exists\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User id Already exists\"}", body(resp));
     }
 
     @Test
@@ -90,9 +136,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         doThrow(NullPointerException.class).when(userRepository).save(user);
 
-        ResponseEntity<String> resp = controller.addUser(user);
+        ResponseEntity<byte[]> resp = controller.addUser(user);
         Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"Issue while attempting addition of user\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"Issue while attempting addition of user\"}", body(resp));
     }
 
     @Test
@@ -101,9 +147,9 @@ class UserEntityControllerTests {
         when(user.getId()).thenReturn("1");
         when(user.getUserName()).thenReturn("user1");
 
-        ResponseEntity<String> resp = controller.addUser(user);
+        ResponseEntity<byte[]> resp = controller.addUser(user);
         Assertions.assertEquals(HttpStatus.OK, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User addition was a success\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User addition was a success\"}", body(resp));
     }
 
     @Test
@@ -113,9 +159,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
 
-        ResponseEntity<String> resp = controller.updateUser(user);
+        ResponseEntity<byte[]> resp = controller.updateUser(user);
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -124,9 +170,9 @@ class UserEntityControllerTests {
         when(user.getId()).thenReturn("1");
         when(user.getUserName()).thenReturn("user1");
 
-        ResponseEntity<String> resp = controller.updateUser(user);
+        ResponseEntity<byte[]> resp = controller.updateUser(user);
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -136,9 +182,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
 
-        ResponseEntity<String> resp = controller.updateUser(user);
+        ResponseEntity<byte[]> resp = controller.updateUser(user);
         Assertions.assertEquals(HttpStatus.OK, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User update was a success\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User update was a success\"}", body(resp));
     }
 
     @Test
@@ -147,9 +193,9 @@ class UserEntityControllerTests {
         when(user.getId()).thenReturn(null);
         when(user.getUserName()).thenReturn("user1");
 
-        ResponseEntity<String> resp = controller.removeUser("1");
+        ResponseEntity<byte[]> resp = controller.removeUser("1");
         Assertions.assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User Id does not exist\"}", body(resp));
     }
 
     @Test
@@ -160,9 +206,9 @@ class UserEntityControllerTests {
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
         doThrow(NullPointerException.class).when(userRepository).delete(user);
 
-        ResponseEntity<String> resp = controller.removeUser("1");
+        ResponseEntity<byte[]> resp = controller.removeUser("1");
         Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"Issue while deleting user\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"Issue while deleting user\"}", body(resp));
     }
 
     @Test
@@ -172,9 +218,9 @@ class UserEntityControllerTests {
         when(user.getUserName()).thenReturn("user1");
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
 
-        ResponseEntity<String> resp = controller.removeUser("1");
+        ResponseEntity<byte[]> resp = controller.removeUser("1");
         Assertions.assertEquals(HttpStatus.OK, resp.getStatusCode());
-        Assertions.assertEquals("{\"msg\" : \"User deleted successfully\"}", resp.getBody());
+        Assertions.assertEquals("{\"msg\" : \"User deleted successfully\"}", body(resp));
     }
 
     @Test
@@ -210,4 +256,30 @@ class UserEntityControllerTests {
         ResponseEntity<String> response = controller.validLogin(login);
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
     }
+
+    @Test
+    public void testSaveUserCircuitOpenFailsFast() {
+        User user = Mockito.mock(User.class);
+        when(user.getId()).thenReturn("1");
+        when(user.getUserName()).thenReturn("user1");
+        circuitBreakerRegistry.circuitBreaker(MongoCallGuard.CIRCUIT_BREAKER).transitionToForcedOpenState();
+
+        Assertions.assertThrows(CallNotPermittedException.class, () -> controller.addUser(user));
+        Mockito.verify(userRepository, Mockito.never()).save(user);
+    }
+
+    @Test
+    public void testLoginCircuitOpenFailsFast() {
+        LoginRequest login = new LoginRequest();
+        login.setPassword("pass2");
+        login.setUsername("user1");
+        circuitBreakerRegistry.circuitBreaker(MongoCallGuard.CIRCUIT_BREAKER).transitionToForcedOpenState();
+
+        Assertions.assertThrows(CallNotPermittedException.class, () -> controller.validLogin(login));
+        Mockito.verify(userRepository, Mockito.never()).findByUserName("user1");
+    }
+
+    private static String body(ResponseEntity<byte[]> resp) {
+        return new String(resp.getBody(), StandardCharsets.UTF_8);
+    }
 }
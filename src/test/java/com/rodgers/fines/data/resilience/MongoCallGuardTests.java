@@ -0,0 +1,100 @@
+package com.rodgers.fines.data.resilience;
+
+import com.mongodb.MongoTimeoutException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoCallGuardTests {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMillis(2500))
+            .recordExceptions(MongoTimeoutException.class)
+            .build());
+
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final MongoCallGuard guard = new MongoCallGuard(circuitBreakerRegistry, bulkheadRegistry);
+
+    @Test
+    public void testReadPassesThroughResult() {
+        assertEquals("club", guard.read(() -> "club"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    public void testBreakerOpensOnMongoFailures() {
+        for (int i = 0; i < 4; i++) {
+            MongoWriteException e = assertThrows(MongoWriteException.class, () -> guard.write(() -> {
+                throw new MongoTimeoutException("timed out");
+            }));
+            assertInstanceOf(MongoTimeoutException.class, e.getCause());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+        assertThrows(CallNotPermittedException.class, () -> guard.read(() -> "club"));
+        assertThrows(CallNotPermittedException.class, () -> guard.write(() -> { }));
+    }
+
+    @Test
+    public void testNonMongoFailuresDoNotOpenBreaker() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.login(() -> {
+                throw new IllegalStateException("bad input");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    public void testRetryAfterRoundsUpWaitDuration() {
+        assertEquals(3, guard.retryAfterSeconds());
+    }
+
+    @Test
+    public void testBulkheadsAreSeparatePerOperation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guard.read(() -> {
+                started.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            started.await();
+
+            assertThrows(BulkheadFullException.class, () -> guard.read(() -> "club"));
+            assertDoesNotThrow(() -> guard.write(() -> { }));
+            assertEquals("user", guard.login(() -> "user"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.rodgers.fines.data.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "resilience4j.circuitbreaker.instances.mongo.waitDurationInOpenState=1s")
+@AutoConfigureMockMvc
+class ReadinessTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @AfterEach
+    public void closeBreaker() {
+        breaker().transitionToClosedState();
+    }
+
+    @Test
+    public void testReadyWhileBreakerClosed() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.circuitBreakers.status").value("UP"));
+    }
+
+    @Test
+    public void testNotReadyWhileBreakerOpen() throws Exception {
+        breaker().transitionToOpenState();
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN"))
+                .andExpect(jsonPath("$.components.circuitBreakers.status").value("DOWN"));
+    }
+
+    @Test
+    public void testReadyAgainAfterOpenWaitWithoutTraffic() throws Exception {
+        breaker().transitionToOpenState();
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable());
+
+        // an unready pod gets no requests, the breaker has to leave OPEN on its own
+        long deadline = System.currentTimeMillis() + 5000;
+        while (breaker().getState() == CircuitBreaker.State.OPEN && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker().getState());
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    private CircuitBreaker breaker() {
+        return circuitBreakerRegistry.circuitBreaker(MongoCallGuard.CIRCUIT_BREAKER);
+    }
+}